@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.gradle.nullability.build;
+
+import java.util.List;
+
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.process.CommandLineArgumentProvider;
+
+/**
+ * {@link CommandLineArgumentProvider} that passes the locations of the test repository
+ * and the TestKit directory to the integration tests.
+ *
+ * @author agent
+ */
+public abstract class GradleBuildArguments implements CommandLineArgumentProvider {
+
+	/**
+	 * The local Maven repository against which the integration tests run offline.
+	 * @return the test repository
+	 */
+	@InputDirectory
+	@PathSensitive(PathSensitivity.RELATIVE)
+	public abstract DirectoryProperty getTestRepository();
+
+	/**
+	 * The TestKit directory that is shared by the integration tests. It is a scratch
+	 * location that does not affect the outcome of the tests.
+	 * @return the TestKit directory
+	 */
+	@Internal
+	public abstract DirectoryProperty getTestKitDir();
+
+	@Override
+	public Iterable<String> asArguments() {
+		return List.of("-DtestRepository=" + getTestRepository().get().getAsFile().getAbsolutePath(),
+				"-DtestKitDir=" + getTestKitDir().get().getAsFile().getAbsolutePath());
+	}
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.gradle.nullability.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.inject.Inject;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.ResolvableDependencies;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Task that prepares a local Maven repository containing the resolved dependencies of
+ * one or more configurations so that the integration tests can run offline.
+ *
+ * @author agent
+ */
+public abstract class PrepareTestRepository extends DefaultTask {
+
+	/**
+	 * The root components of the resolved configurations. Their dependencies, but not the
+	 * root components themselves, are written to the repository.
+	 * @return the root components
+	 */
+	@Internal
+	public abstract ListProperty<ResolvedComponentResult> getRootComponents();
+
+	/**
+	 * The artifacts of the resolved configurations.
+	 * @return the resolved artifacts
+	 */
+	@Internal
+	public abstract SetProperty<ResolvedArtifactResult> getResolvedArtifacts();
+
+	/**
+	 * The files of the resolved configurations.
+	 * @return the dependencies
+	 */
+	@InputFiles
+	@PathSensitive(PathSensitivity.NAME_ONLY)
+	public abstract ConfigurableFileCollection getDependencies();
+
+	/**
+	 * The directory of the Maven repository.
+	 * @return the repository
+	 */
+	@OutputDirectory
+	public abstract DirectoryProperty getRepository();
+
+	@Inject
+	protected abstract FileSystemOperations getFileSystemOperations();
+
+	/**
+	 * Adds the dependencies of the given configuration to the repository.
+	 * @param configuration the configuration
+	 */
+	public void from(Provider<? extends Configuration> configuration) {
+		Provider<ResolvableDependencies> incoming = configuration.map(Configuration::getIncoming);
+		getRootComponents().add(incoming.flatMap((resolved) -> resolved.getResolutionResult().getRootComponent()));
+		getResolvedArtifacts().addAll(incoming.flatMap((resolved) -> resolved.getArtifacts().getResolvedArtifacts()));
+		getDependencies().from(configuration);
+	}
+
+	@TaskAction
+	void prepare() {
+		File repository = getRepository().get().getAsFile();
+		getFileSystemOperations().delete((spec) -> spec.delete(repository));
+		Map<ComponentIdentifier, Set<File>> artifacts = new LinkedHashMap<>();
+		for (ResolvedArtifactResult artifact : getResolvedArtifacts().get()) {
+			artifacts.computeIfAbsent(artifact.getId().getComponentIdentifier(), (id) -> new LinkedHashSet<>())
+				.add(artifact.getFile());
+		}
+		Map<ComponentIdentifier, ResolvedComponentResult> components = new LinkedHashMap<>();
+		Set<ComponentIdentifier> rootIds = new HashSet<>();
+		for (ResolvedComponentResult root : getRootComponents().get()) {
+			rootIds.add(root.getId());
+			collect(root, components);
+		}
+		components.keySet().removeAll(rootIds);
+		components.forEach((id, component) -> writeModule(repository, component,
+				artifacts.getOrDefault(id, Set.of()), dependencies(component, artifacts)));
+	}
+
+	private void collect(ResolvedComponentResult component,
+			Map<ComponentIdentifier, ResolvedComponentResult> components) {
+		if (components.putIfAbsent(component.getId(), component) == null) {
+			selectedDependencies(component).forEach((dependency) -> collect(dependency, components));
+		}
+	}
+
+	private List<ModuleVersionIdentifier> dependencies(ResolvedComponentResult component,
+			Map<ComponentIdentifier, Set<File>> artifacts) {
+		return selectedDependencies(component).filter((dependency) -> artifacts.containsKey(dependency.getId()))
+			.map(ResolvedComponentResult::getModuleVersion)
+			.distinct()
+			.toList();
+	}
+
+	private Stream<ResolvedComponentResult> selectedDependencies(ResolvedComponentResult component) {
+		return component.getDependencies()
+			.stream()
+			.filter((dependency) -> dependency instanceof ResolvedDependencyResult && !dependency.isConstraint())
+			.map((dependency) -> ((ResolvedDependencyResult) dependency).getSelected());
+	}
+
+	private void writeModule(File repository, ResolvedComponentResult component, Set<File> files,
+			List<ModuleVersionIdentifier> dependencies) {
+		ModuleVersionIdentifier module = component.getModuleVersion();
+		File moduleDir = new File(repository,
+				module.getGroup().replace('.', '/') + "/" + module.getName() + "/" + module.getVersion());
+		try {
+			Files.createDirectories(moduleDir.toPath());
+			for (File file : files) {
+				Files.copy(file.toPath(), new File(moduleDir, file.getName()).toPath());
+			}
+			Files.writeString(new File(moduleDir, module.getName() + "-" + module.getVersion() + ".pom").toPath(),
+					pom(module, !files.isEmpty(), dependencies));
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to write module " + module + " to " + repository, ex);
+		}
+	}
+
+	private String pom(ModuleVersionIdentifier module, boolean jar, List<ModuleVersionIdentifier> dependencies) {
+		String dependencyElements = dependencies.stream().map((dependency) -> """
+
+						<dependency>
+							<groupId>%s</groupId>
+							<artifactId>%s</artifactId>
+							<version>%s</version>
+						</dependency>
+				""".stripTrailing().formatted(dependency.getGroup(), dependency.getName(), dependency.getVersion()))
+			.collect(Collectors.joining());
+		return """
+				<?xml version="1.0" encoding="UTF-8"?>
+				<project xmlns="http://maven.apache.org/POM/4.0.0">
+					<modelVersion>4.0.0</modelVersion>
+					<groupId>%s</groupId>
+					<artifactId>%s</artifactId>
+					<version>%s</version>
+					<packaging>%s</packaging>
+					<dependencies>%s
+					</dependencies>
+				</project>
+				""".formatted(module.getGroup(), module.getName(), module.getVersion(), jar ? "jar" : "pom",
+				dependencyElements);
+	}
+
+}
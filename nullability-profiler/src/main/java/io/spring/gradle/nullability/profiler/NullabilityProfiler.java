@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.gradle.nullability.profiler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Duration;
+
+import javax.tools.Diagnostic;
+
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.Plugin;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+import com.sun.source.util.Trees;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * A javac {@link Plugin} that records a Java Flight Recorder profile of a compilation
+ * and keeps it when the compilation is slower than a threshold. Internal use only.
+ *
+ * @author agent
+ */
+public class NullabilityProfiler implements Plugin {
+
+	private static final String NAME = "NullabilityProfiler";
+
+	private static final String RECORDING_FILE_NAME = "compilation.jfr";
+
+	private static final String METADATA_FILE_NAME = "metadata.properties";
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public void init(JavacTask task, String... args) {
+		if (args.length != 3) {
+			throw new IllegalArgumentException(NAME + " requires a threshold, an output directory, and metadata");
+		}
+		Duration threshold = Duration.ofMillis(Long.parseLong(args[0]));
+		Path outputDir = Path.of(URI.create(args[1]));
+		Path metadata = Path.of(URI.create(args[2]));
+		Recording recording = startRecording();
+		long start = System.nanoTime();
+		task.addTaskListener(new TaskListener() {
+
+			private CompilationUnitTree compilationUnit;
+
+			@Override
+			public void finished(TaskEvent event) {
+				if (event.getCompilationUnit() != null) {
+					this.compilationUnit = event.getCompilationUnit();
+				}
+				if (event.getKind() == TaskEvent.Kind.COMPILATION) {
+					Duration duration = Duration.ofNanos(System.nanoTime() - start);
+					recording.stop();
+					try {
+						if (duration.compareTo(threshold) >= 0) {
+							Files.createDirectories(outputDir);
+							recording.dump(outputDir.resolve(RECORDING_FILE_NAME));
+							Files.copy(metadata, outputDir.resolve(METADATA_FILE_NAME),
+									StandardCopyOption.REPLACE_EXISTING);
+							note("Compilation took " + duration.toMillis() + "ms. Profile written to " + outputDir);
+						}
+					}
+					catch (IOException ex) {
+						throw new UncheckedIOException(ex);
+					}
+					finally {
+						recording.close();
+					}
+				}
+			}
+
+			private void note(String message) {
+				if (this.compilationUnit != null) {
+					Trees.instance(task)
+						.printMessage(Diagnostic.Kind.NOTE, message, this.compilationUnit, this.compilationUnit);
+				}
+			}
+
+		});
+	}
+
+	private Recording startRecording() {
+		try {
+			Recording recording = new Recording(Configuration.getConfiguration("profile"));
+			recording.setName(NAME);
+			recording.start();
+			return recording;
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		catch (ParseException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
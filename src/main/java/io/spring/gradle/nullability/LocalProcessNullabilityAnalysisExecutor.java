@@ -0,0 +1,194 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.gradle.nullability;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+import javax.tools.ToolProvider;
+
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.ProcessWorkerSpec;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+import org.gradle.workers.WorkerExecutor;
+
+/**
+ * A {@link NullabilityAnalysisExecutor} that analyzes each shard in a separate worker
+ * process on the local machine. The worker processes are managed by Gradle's Worker API
+ * so the number of shards that are analyzed concurrently is limited by
+ * {@code --max-workers}. Instances should be created using
+ * {@link org.gradle.api.model.ObjectFactory#newInstance ObjectFactory.newInstance}.
+ *
+ * @author agent
+ */
+public abstract class LocalProcessNullabilityAnalysisExecutor implements NullabilityAnalysisExecutor {
+
+	/**
+	 * JVM arguments that Error Prone requires when running on JDK 16 or later, see
+	 * https://errorprone.info/docs/installation.
+	 */
+	private static final List<String> JVM_ARGS = List.of(
+			"--add-exports=jdk.compiler/com.sun.tools.javac.api=ALL-UNNAMED",
+			"--add-exports=jdk.compiler/com.sun.tools.javac.file=ALL-UNNAMED",
+			"--add-exports=jdk.compiler/com.sun.tools.javac.main=ALL-UNNAMED",
+			"--add-exports=jdk.compiler/com.sun.tools.javac.model=ALL-UNNAMED",
+			"--add-exports=jdk.compiler/com.sun.tools.javac.parser=ALL-UNNAMED",
+			"--add-exports=jdk.compiler/com.sun.tools.javac.processing=ALL-UNNAMED",
+			"--add-exports=jdk.compiler/com.sun.tools.javac.tree=ALL-UNNAMED",
+			"--add-exports=jdk.compiler/com.sun.tools.javac.util=ALL-UNNAMED",
+			"--add-opens=jdk.compiler/com.sun.tools.javac.code=ALL-UNNAMED",
+			"--add-opens=jdk.compiler/com.sun.tools.javac.comp=ALL-UNNAMED");
+
+	/**
+	 * The maximum heap size of each worker process, for example {@code 1g}. When not set,
+	 * the JVM's default is used.
+	 * @return the maximum heap size
+	 */
+	public abstract Property<String> getMaxHeapSize();
+
+	@Inject
+	protected abstract WorkerExecutor getWorkerExecutor();
+
+	@Inject
+	protected abstract FileSystemOperations getFileSystemOperations();
+
+	@Override
+	public List<NullabilityAnalysisResult> analyze(List<NullabilityAnalysisShard> shards, File temporaryDir) {
+		List<File> shardDirs = shards.stream()
+			.map((shard) -> new File(temporaryDir, "shard-" + shard.getIndex()))
+			.toList();
+		getFileSystemOperations().delete((spec) -> spec.delete(shardDirs));
+		try {
+			List<File> resultFiles = new ArrayList<>();
+			for (int i = 0; i < shards.size(); i++) {
+				NullabilityAnalysisShard shard = shards.get(i);
+				File shardDir = shardDirs.get(i);
+				resultFiles.add(new File(shardDir, "result"));
+				getWorkerExecutor().processIsolation((spec) -> configure(spec, shard))
+					.submit(AnalyzeShard.class, (parameters) -> {
+						parameters.getShard().set(shard);
+						parameters.getWorkingDir().set(shardDir);
+					});
+			}
+			getWorkerExecutor().await();
+			return resultFiles.stream().map(this::readResult).toList();
+		}
+		finally {
+			getFileSystemOperations().delete((spec) -> spec.delete(shardDirs));
+		}
+	}
+
+	private void configure(ProcessWorkerSpec spec, NullabilityAnalysisShard shard) {
+		spec.forkOptions((forkOptions) -> {
+			forkOptions.setExecutable(new File(shard.getJavaHome(), "bin/java"));
+			forkOptions.jvmArgs(JVM_ARGS);
+			if (getMaxHeapSize().isPresent()) {
+				forkOptions.setMaxHeapSize(getMaxHeapSize().get());
+			}
+		});
+	}
+
+	private NullabilityAnalysisResult readResult(File resultFile) {
+		try (ObjectInputStream input = new ObjectInputStream(Files.newInputStream(resultFile.toPath()))) {
+			return (NullabilityAnalysisResult) input.readObject();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		catch (ClassNotFoundException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * {@link WorkAction} that analyzes a shard using the worker process's system Java
+	 * compiler.
+	 */
+	abstract static class AnalyzeShard implements WorkAction<AnalyzeShard.Parameters> {
+
+		@Override
+		public void execute() {
+			NullabilityAnalysisShard shard = getParameters().getShard().get();
+			Path workingDir = getParameters().getWorkingDir().get().getAsFile().toPath();
+			try {
+				Path classesDir = Files.createDirectories(workingDir.resolve("classes"));
+				Path generatedSourcesDir = Files.createDirectories(workingDir.resolve("generated-sources"));
+				ByteArrayOutputStream diagnostics = new ByteArrayOutputStream();
+				int exitCode = ToolProvider.getSystemJavaCompiler()
+					.run(InputStream.nullInputStream(), diagnostics, diagnostics,
+							arguments(shard, classesDir, generatedSourcesDir).toArray(String[]::new));
+				NullabilityAnalysisResult result = new NullabilityAnalysisResult(shard.getIndex(), exitCode == 0,
+						diagnostics.toString(Charset.defaultCharset()));
+				try (OutputStream output = Files.newOutputStream(workingDir.resolve("result"));
+						ObjectOutputStream objectOutput = new ObjectOutputStream(output)) {
+					objectOutput.writeObject(result);
+				}
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+
+		private List<String> arguments(NullabilityAnalysisShard shard, Path classesDir, Path generatedSourcesDir) {
+			List<String> arguments = new ArrayList<>();
+			arguments.add("-d");
+			arguments.add(classesDir.toString());
+			arguments.add("-s");
+			arguments.add(generatedSourcesDir.toString());
+			arguments.add("-implicit:none");
+			arguments.add("-classpath");
+			arguments.add(asPath(shard.getClasspath()));
+			if (!shard.getProcessorPath().isEmpty()) {
+				arguments.add("-processorpath");
+				arguments.add(asPath(shard.getProcessorPath()));
+			}
+			arguments.addAll(shard.getArguments());
+			shard.getSources().stream().map(File::getAbsolutePath).forEach(arguments::add);
+			return arguments;
+		}
+
+		private String asPath(List<File> files) {
+			return files.stream().map(File::getAbsolutePath).collect(Collectors.joining(File.pathSeparator));
+		}
+
+		interface Parameters extends WorkParameters {
+
+			Property<NullabilityAnalysisShard> getShard();
+
+			DirectoryProperty getWorkingDir();
+
+		}
+
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.gradle.nullability;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Optional;
+import org.gradle.process.CommandLineArgumentProvider;
+
+/**
+ * {@link CommandLineArgumentProvider} for Error Prone that excludes the sources a
+ * multi-release compile task shares with {@code compileJava} from analysis. Any paths
+ * that have been excluded using Error Prone's {@code excludedPaths} are also excluded.
+ *
+ * @author agent
+ */
+class MultiReleaseExcludedPaths implements CommandLineArgumentProvider {
+
+	private final Provider<String> sharedSources;
+
+	private final Provider<String> excludedPaths;
+
+	MultiReleaseExcludedPaths(Provider<String> sharedSources, Provider<String> excludedPaths) {
+		this.sharedSources = sharedSources;
+		this.excludedPaths = excludedPaths;
+	}
+
+	@Input
+	@Optional
+	public Provider<String> getSharedSources() {
+		return this.sharedSources;
+	}
+
+	@Input
+	@Optional
+	public Provider<String> getExcludedPaths() {
+		return this.excludedPaths;
+	}
+
+	@Override
+	public Iterable<String> asArguments() {
+		if (!this.sharedSources.isPresent()) {
+			return Collections.emptyList();
+		}
+		String pattern = this.excludedPaths.map((excluded) -> "(?:" + excluded + ")|" + this.sharedSources.get())
+			.getOrElse(this.sharedSources.get());
+		return List.of("-XepExcludedPaths:" + pattern);
+	}
+
+}
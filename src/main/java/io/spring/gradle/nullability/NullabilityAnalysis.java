@@ -0,0 +1,207 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.gradle.nullability;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SkipWhenEmpty;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.jvm.toolchain.JavaCompiler;
+
+/**
+ * Task that analyzes the nullability of a source set's Java sources by splitting them
+ * into {@link NullabilityAnalysisShard shards} that are analyzed by a
+ * {@link NullabilityAnalysisExecutor}.
+ *
+ * @author agent
+ */
+@CacheableTask
+public abstract class NullabilityAnalysis extends DefaultTask {
+
+	/**
+	 * The sources to analyze.
+	 * @return the sources
+	 */
+	@InputFiles
+	@SkipWhenEmpty
+	@IgnoreEmptyDirectories
+	@PathSensitive(PathSensitivity.RELATIVE)
+	public abstract ConfigurableFileCollection getSource();
+
+	/**
+	 * The classpath against which the sources are compiled. Changes to the classpath are
+	 * tracked using its {@link #getClasspathFingerprint() fingerprint}.
+	 * @return the classpath
+	 */
+	@Internal
+	public abstract ConfigurableFileCollection getClasspath();
+
+	/**
+	 * The nullness fingerprint of the classpath.
+	 * @return the classpath fingerprint
+	 * @see NullabilityClasspathFingerprint
+	 */
+	@InputFile
+	@PathSensitive(PathSensitivity.NONE)
+	public abstract RegularFileProperty getClasspathFingerprint();
+
+	/**
+	 * The processor path from which Error Prone and NullAway are loaded.
+	 * @return the processor path
+	 */
+	@Classpath
+	public abstract ConfigurableFileCollection getProcessorPath();
+
+	/**
+	 * The compiler arguments, including those that configure Error Prone.
+	 * @return the compiler arguments
+	 */
+	@Input
+	public abstract ListProperty<String> getArguments();
+
+	/**
+	 * The number of shards into which the sources are split.
+	 * @return the number of shards
+	 */
+	@Input
+	public abstract Property<Integer> getShards();
+
+	/**
+	 * The compiler that is used to analyze the sources.
+	 * @return the compiler
+	 */
+	@Nested
+	public abstract Property<JavaCompiler> getJavaCompiler();
+
+	/**
+	 * The executor that analyzes the shards.
+	 * @return the executor
+	 */
+	@Internal
+	public abstract Property<NullabilityAnalysisExecutor> getExecutor();
+
+	/**
+	 * The file to which the merged diagnostics are written.
+	 * @return the diagnostics file
+	 */
+	@OutputFile
+	public abstract RegularFileProperty getDiagnostics();
+
+	@TaskAction
+	void analyze() throws IOException {
+		NullabilityAnalysisExecutor executor = getExecutor().get();
+		List<NullabilityAnalysisShard> shards = createShards(executor.requiresClasspathDigests());
+		List<NullabilityAnalysisResult> results = new ArrayList<>(executor.analyze(shards, getTemporaryDir()));
+		results.sort(Comparator.comparingInt(NullabilityAnalysisResult::getIndex));
+		String diagnostics = results.stream()
+			.map(NullabilityAnalysisResult::getDiagnostics)
+			.collect(Collectors.joining());
+		Files.writeString(getDiagnostics().get().getAsFile().toPath(), diagnostics);
+		boolean successful = results.size() == shards.size()
+				&& results.stream().allMatch(NullabilityAnalysisResult::isSuccessful);
+		if (!successful) {
+			getLogger().error(diagnostics);
+			throw new GradleException("Nullability analysis failed; see the compiler error output for details.");
+		}
+		if (!diagnostics.isEmpty()) {
+			getLogger().warn(diagnostics);
+		}
+	}
+
+	private List<NullabilityAnalysisShard> createShards(boolean classpathDigestsRequired) {
+		List<File> sources = getSource().getFiles().stream().sorted().toList();
+		if (sources.stream().anyMatch((source) -> source.getName().equals("module-info.java"))) {
+			throw new GradleException("Sharded nullability analysis does not support sources that contain a "
+					+ "module-info.java file. Remove nullability.analysisShards to analyze them during compilation.");
+		}
+		List<File> classpath = List.copyOf(getClasspath().getFiles());
+		Map<File, String> classpathDigests = classpathDigestsRequired ? digests(classpath) : Map.of();
+		List<File> processorPath = List.copyOf(getProcessorPath().getFiles());
+		List<String> arguments = getArguments().get();
+		JavaCompiler javaCompiler = getJavaCompiler().get();
+		File javaHome = javaCompiler.getMetadata().getInstallationPath().getAsFile();
+		int shardCount = Math.max(1, Math.min(getShards().get(), sources.size()));
+		List<NullabilityAnalysisShard> shards = new ArrayList<>();
+		for (int i = 0; i < shardCount; i++) {
+			List<File> shardSources = sources.subList(i * sources.size() / shardCount,
+					(i + 1) * sources.size() / shardCount);
+			shards.add(new NullabilityAnalysisShard(i, shardSources, classpath, classpathDigests, processorPath,
+					arguments, javaHome));
+		}
+		return shards;
+	}
+
+	private Map<File, String> digests(List<File> files) {
+		Map<File, String> digests = new LinkedHashMap<>();
+		for (File file : files) {
+			if (file.exists()) {
+				digests.put(file, digest(file.toPath()));
+			}
+		}
+		return digests;
+	}
+
+	private String digest(Path root) {
+		try (Stream<Path> paths = Files.walk(root)) {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			for (Path path : paths.filter(Files::isRegularFile).sorted().toList()) {
+				digest.update(root.relativize(path).toString().getBytes(StandardCharsets.UTF_8));
+				digest.update(Files.readAllBytes(path));
+			}
+			return HexFormat.of().formatHex(digest.digest());
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.gradle.nullability;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * An executor of nullability analysis that is used when a source set's analysis is split
+ * into {@link NullabilityAnalysisShard shards}. Implementations may analyze the shards
+ * locally or dispatch them to remote analysis agents.
+ *
+ * @author agent
+ * @see LocalProcessNullabilityAnalysisExecutor
+ */
+public interface NullabilityAnalysisExecutor {
+
+	/**
+	 * Analyzes the given shards, returning a result for each shard. The results may be
+	 * returned in any order.
+	 * @param shards the shards to analyze
+	 * @param temporaryDir a temporary directory of the analysis task that the executor
+	 * can use while analyzing the shards
+	 * @return the results of analyzing the shards
+	 */
+	List<NullabilityAnalysisResult> analyze(List<NullabilityAnalysisShard> shards, File temporaryDir);
+
+	/**
+	 * Returns whether the executor requires the shards that it analyzes to carry the
+	 * {@link NullabilityAnalysisShard#getClasspathDigests() digests} of their classpath
+	 * entries. Computing the digests reads every classpath entry in full so they are only
+	 * computed when required.
+	 * @return {@code true} if classpath digests are required, otherwise {@code false}
+	 */
+	default boolean requiresClasspathDigests() {
+		return false;
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.gradle.nullability;
+
+import java.io.Serializable;
+
+/**
+ * The result of analyzing a {@link NullabilityAnalysisShard}.
+ *
+ * @author agent
+ */
+public final class NullabilityAnalysisResult implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int index;
+
+	private final boolean successful;
+
+	private final String diagnostics;
+
+	/**
+	 * Creates a new result.
+	 * @param index the index of the shard that was analyzed
+	 * @param successful whether the analysis was successful
+	 * @param diagnostics the diagnostics produced by the analysis
+	 */
+	public NullabilityAnalysisResult(int index, boolean successful, String diagnostics) {
+		this.index = index;
+		this.successful = successful;
+		this.diagnostics = diagnostics;
+	}
+
+	/**
+	 * Returns the index of the shard that was analyzed.
+	 * @return the index
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * Returns whether the analysis was successful.
+	 * @return {@code true} if no errors were found, otherwise {@code false}
+	 */
+	public boolean isSuccessful() {
+		return this.successful;
+	}
+
+	/**
+	 * Returns the diagnostics produced by the analysis.
+	 * @return the diagnostics
+	 */
+	public String getDiagnostics() {
+		return this.diagnostics;
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.gradle.nullability;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A shard of a source set's nullability analysis. Contains a subset of the source set's
+ * sources along with everything that is needed to analyze them independently of the
+ * rest of the build.
+ * <p>
+ * A shard identifies its sources, classpath, processor path, and JDK by their absolute
+ * paths on the machine that created it. It does not carry their content, but it can
+ * carry a digest of the content of each classpath entry. An executor that analyzes
+ * shards elsewhere must make the same files available at the same paths, for example by
+ * using a shared file system, and can
+ * {@link NullabilityAnalysisExecutor#requiresClasspathDigests() require} the digests to
+ * verify that it has done so.
+ *
+ * @author agent
+ */
+public final class NullabilityAnalysisShard implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int index;
+
+	private final List<File> sources;
+
+	private final List<File> classpath;
+
+	private final Map<File, String> classpathDigests;
+
+	private final List<File> processorPath;
+
+	private final List<String> arguments;
+
+	private final File javaHome;
+
+	/**
+	 * Creates a new shard.
+	 * @param index the index of the shard
+	 * @param sources the sources to analyze
+	 * @param classpath the classpath against which the sources are compiled
+	 * @param classpathDigests the SHA-256 digests of the content of the classpath entries,
+	 * or an empty map if they have not been computed
+	 * @param processorPath the processor path from which Error Prone is loaded
+	 * @param arguments the compiler arguments, including those that configure Error
+	 * Prone
+	 * @param javaHome the home of the JDK used to compile the sources
+	 */
+	public NullabilityAnalysisShard(int index, List<File> sources, List<File> classpath,
+			Map<File, String> classpathDigests, List<File> processorPath, List<String> arguments, File javaHome) {
+		this.index = index;
+		this.sources = List.copyOf(sources);
+		this.classpath = List.copyOf(classpath);
+		this.classpathDigests = Map.copyOf(classpathDigests);
+		this.processorPath = List.copyOf(processorPath);
+		this.arguments = List.copyOf(arguments);
+		this.javaHome = javaHome;
+	}
+
+	/**
+	 * Returns the index of the shard. Diagnostics are merged in index order.
+	 * @return the index
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * Returns the sources to analyze.
+	 * @return the sources
+	 */
+	public List<File> getSources() {
+		return this.sources;
+	}
+
+	/**
+	 * Returns the classpath against which the sources are compiled. In addition to the
+	 * source set's compile classpath it contains the source set's compiled classes.
+	 * @return the classpath
+	 */
+	public List<File> getClasspath() {
+		return this.classpath;
+	}
+
+	/**
+	 * Returns the hex-encoded SHA-256 digests of the content of the classpath entries,
+	 * keyed by entry. The digest of a directory covers the relative path and content of
+	 * each file beneath it. Entries that do not exist have no digest. The map is empty
+	 * unless the executor {@link NullabilityAnalysisExecutor#requiresClasspathDigests()
+	 * requires} classpath digests.
+	 * @return the classpath digests
+	 */
+	public Map<File, String> getClasspathDigests() {
+		return this.classpathDigests;
+	}
+
+	/**
+	 * Returns the processor path from which Error Prone and NullAway are loaded.
+	 * @return the processor path
+	 */
+	public List<File> getProcessorPath() {
+		return this.processorPath;
+	}
+
+	/**
+	 * Returns the compiler arguments, including the {@code -Xplugin:ErrorProne} argument
+	 * that reflects the effective {@link NullabilityOptions}.
+	 * @return the compiler arguments
+	 */
+	public List<String> getArguments() {
+		return this.arguments;
+	}
+
+	/**
+	 * Returns the home of the local JDK that is used to compile the sources.
+	 * @return the Java home
+	 */
+	public File getJavaHome() {
+		return this.javaHome;
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.gradle.nullability;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.CompileClasspath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Task that fingerprints a classpath by the nullness signatures of its classes. The
+ * fingerprint only changes when a change to the classpath may affect nullability
+ * analysis, allowing {@link NullabilityAnalysis} to remain up-to-date when it does not.
+ *
+ * @author agent
+ */
+@CacheableTask
+public abstract class NullabilityClasspathFingerprint extends DefaultTask {
+
+	/**
+	 * The classpath to fingerprint.
+	 * @return the classpath
+	 */
+	@CompileClasspath
+	public abstract ConfigurableFileCollection getClasspath();
+
+	/**
+	 * The fully-qualified names of the custom nullness-related annotations, such as
+	 * those configured using NullAway's {@code CustomNullableAnnotations} option.
+	 * @return the custom annotations
+	 */
+	@Input
+	public abstract ListProperty<String> getCustomAnnotations();
+
+	/**
+	 * The file to which the fingerprint is written.
+	 * @return the fingerprint file
+	 */
+	@OutputFile
+	public abstract RegularFileProperty getFingerprint();
+
+	@TaskAction
+	void fingerprint() throws IOException {
+		Set<String> customAnnotations = Set.copyOf(getCustomAnnotations().get());
+		List<String> digests = new ArrayList<>();
+		for (File entry : getClasspath().getFiles()) {
+			digests.add(NullnessSignatures.digest(entry, customAnnotations));
+		}
+		Files.write(getFingerprint().get().getAsFile().toPath(), digests);
+	}
+
+}
@@ -88,6 +88,10 @@ public abstract class NullabilityOptions {
 		return Collections.emptyMap();
 	}
 
+	Provider<Boolean> isCheckingEnabled() {
+		return getChecking().map((string) -> Checking.valueOf(string.toUpperCase(Locale.ROOT)) != Checking.DISABLED);
+	}
+
 	/**
 	 * Returns the type of checking to perform.
 	 * @return the type of checking
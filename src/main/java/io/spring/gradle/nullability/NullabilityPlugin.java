@@ -16,13 +16,37 @@
 
 package io.spring.gradle.nullability;
 
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import net.ltgt.gradle.errorprone.ErrorProneOptions;
 import net.ltgt.gradle.errorprone.ErrorPronePlugin;
+import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.FileTree;
+import org.gradle.api.file.RegularFile;
 import org.gradle.api.plugins.ExtensionAware;
+import org.gradle.api.plugins.JavaBasePlugin;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskProvider;
 import org.gradle.api.tasks.compile.CompileOptions;
 import org.gradle.api.tasks.compile.JavaCompile;
 
@@ -38,13 +62,22 @@ public class NullabilityPlugin implements Plugin<Project> {
 
 	private static final Pattern COMPILE_MAIN_SOURCES_TASK_NAME = Pattern.compile("compile(\\d+)?Java");
 
+	private static final List<String> CUSTOM_ANNOTATION_OPTIONS = List.of("NullAway:CustomContractAnnotations",
+			"NullAway:CustomNonnullAnnotations", "NullAway:CustomNullableAnnotations");
+
+	private static final String PROFILER = "io.spring.gradle.nullability:nullability-profiler:"
+			+ NullabilityPluginExtension.PROFILER_VERSION;
+
 	@Override
 	public void apply(Project project) {
 		NullabilityPluginExtension nullability = project.getExtensions()
 			.create("nullability", NullabilityPluginExtension.class);
+		nullability.getAnalysisExecutor()
+			.convention(project.getObjects().newInstance(LocalProcessNullabilityAnalysisExecutor.class));
 		project.getPlugins().apply(ErrorPronePlugin.class);
 		configureDependencies(project, nullability);
 		configureJavaCompilation(project, nullability);
+		configureNullabilityAnalysis(project, nullability);
 	}
 
 	private void configureDependencies(Project project, NullabilityPluginExtension nullability) {
@@ -55,6 +88,12 @@ public class NullabilityPlugin implements Plugin<Project> {
 		project.getDependencies()
 			.add(ErrorPronePlugin.CONFIGURATION_NAME,
 					nullability.getNullAwayVersion().map((version) -> "com.uber.nullaway:nullaway:" + version));
+		project.getConfigurations()
+			.getByName(ErrorPronePlugin.CONFIGURATION_NAME)
+			.getDependencies()
+			.addAllLater(nullability.getSlowCompilationThreshold()
+				.map((threshold) -> List.of(project.getDependencies().create(PROFILER)))
+				.orElse(List.of()));
 	}
 
 	private void configureJavaCompilation(Project project, NullabilityPluginExtension nullability) {
@@ -66,11 +105,279 @@ public class NullabilityPlugin implements Plugin<Project> {
 				.create("nullability", NullabilityOptions.class, errorProneOptions, nullability);
 			nullabilityOptions.getChecking()
 				.set(compilesMainSources(javaCompile) ? Checking.MAIN.name() : Checking.DISABLED.name());
+			if (compilesMultiReleaseSources(javaCompile)) {
+				errorProneOptions.getErrorproneArgumentProviders()
+					.add(new MultiReleaseExcludedPaths(sourcesSharedWithCompileJava(project, nullability, javaCompile),
+							errorProneOptions.getExcludedPaths()));
+			}
+			if (compilesSourceSet(project, javaCompile)) {
+				errorProneOptions.getEnabled()
+					.set(nullabilityOptions.isCheckingEnabled()
+						.zip(isAnalysisSharded(nullability), (enabled, sharded) -> enabled && !sharded));
+			}
+			configureProfiling(project, nullability, javaCompile, errorProneOptions);
+		});
+	}
+
+	private void configureProfiling(Project project, NullabilityPluginExtension nullability, JavaCompile javaCompile,
+			ErrorProneOptions errorProneOptions) {
+		Provider<Long> threshold = errorProneOptions.getEnabled()
+			.flatMap((enabled) -> enabled ? nullability.getSlowCompilationThreshold().map(Duration::toMillis)
+					: project.getProviders().provider(() -> null));
+		Provider<Directory> outputDir = project.getLayout()
+			.getBuildDirectory()
+			.dir("reports/nullability/" + javaCompile.getName());
+		Provider<RegularFile> metadata = project.getLayout()
+			.getBuildDirectory()
+			.file("tmp/" + javaCompile.getName() + "/nullability-profile.properties");
+		javaCompile.getOptions()
+			.getCompilerArgumentProviders()
+			.add(new NullabilityProfilingArguments(threshold, outputDir, metadata));
+		javaCompile.doFirst(project.getObjects()
+			.newInstance(NullabilityProfilingMetadata.class, threshold, outputDir, metadata,
+					project.provider(errorProneOptions::toString), nullability.getErrorProneVersion(),
+					nullability.getNullAwayVersion(),
+					javaCompile.getJavaCompiler().map((compiler) -> compiler.getMetadata().getJavaRuntimeVersion())));
+	}
+
+	private void configureNullabilityAnalysis(Project project, NullabilityPluginExtension nullability) {
+		project.getPlugins()
+			.withType(JavaBasePlugin.class,
+					(javaBasePlugin) -> project.getExtensions()
+						.getByType(SourceSetContainer.class)
+						.all((sourceSet) -> configureNullabilityAnalysis(project, nullability, sourceSet)));
+	}
+
+	private void configureNullabilityAnalysis(Project project, NullabilityPluginExtension nullability,
+			SourceSet sourceSet) {
+		TaskProvider<JavaCompile> javaCompile = project.getTasks()
+			.named(sourceSet.getCompileJavaTaskName(), JavaCompile.class);
+		Provider<Integer> analysisShards = javaCompile
+			.flatMap((compile) -> nullabilityOptions(compile).isCheckingEnabled())
+			.zip(isAnalysisSharded(nullability), (enabled, sharded) -> enabled && sharded)
+			.flatMap((sharded) -> sharded ? analysisShards(nullability) : project.getProviders().provider(() -> null));
+		TaskProvider<NullabilityClasspathFingerprint> classpathFingerprint = project.getTasks()
+			.register(sourceSet.getTaskName(null, "nullabilityClasspathFingerprint"),
+					NullabilityClasspathFingerprint.class, (fingerprint) -> {
+						fingerprint.setDescription("Fingerprints the nullness signatures of the " + sourceSet.getName()
+								+ " compile classpath.");
+						fingerprint.getClasspath()
+							.from((Callable<FileCollection>) () -> javaCompile.get().getClasspath());
+						fingerprint.getCustomAnnotations()
+							.set(javaCompile.flatMap((compile) -> errorProneOptions(compile).getCheckOptions())
+								.map(this::customAnnotations));
+						fingerprint.getFingerprint()
+							.set(project.getLayout()
+								.getBuildDirectory()
+								.file("nullability/" + sourceSet.getName() + "/classpath-fingerprint.txt"));
+					});
+		TaskProvider<NullabilityAnalysis> nullabilityAnalysis = project.getTasks()
+			.register(sourceSet.getTaskName(null, "nullabilityAnalysis"), NullabilityAnalysis.class, (analysis) -> {
+				analysis.setDescription("Analyzes the nullability of " + sourceSet.getName() + " Java source.");
+				analysis.dependsOn(javaCompile);
+				analysis.getSource().from((Callable<FileCollection>) () -> javaCompile.get().getSource());
+				analysis.getClasspath()
+					.from((Callable<FileCollection>) () -> javaCompile.get().getClasspath(),
+							javaCompile.flatMap(JavaCompile::getDestinationDirectory));
+				analysis.getClasspathFingerprint()
+					.set(classpathFingerprint.flatMap(NullabilityClasspathFingerprint::getFingerprint));
+				analysis.getProcessorPath()
+					.from((Callable<FileCollection>) () -> javaCompile.get().getOptions().getAnnotationProcessorPath());
+				analysis.getArguments().set(javaCompile.map(this::analysisArguments));
+				analysis.getShards().set(analysisShards);
+				analysis.getJavaCompiler().set(javaCompile.flatMap(JavaCompile::getJavaCompiler));
+				analysis.getExecutor().set(nullability.getAnalysisExecutor());
+				analysis.getDiagnostics()
+					.set(project.getLayout()
+						.getBuildDirectory()
+						.file("nullability/" + sourceSet.getName() + "/diagnostics.txt"));
+				analysis.onlyIf("Nullability analysis is sharded",
+						(task) -> ((NullabilityAnalysis) task).getShards().isPresent());
+			});
+		javaCompile.configure((compile) -> compile
+			.finalizedBy((Callable<Object>) () -> analysisShards.isPresent() ? nullabilityAnalysis : List.of()));
+	}
+
+	private List<String> customAnnotations(Map<String, String> checkOptions) {
+		return CUSTOM_ANNOTATION_OPTIONS.stream()
+			.map(checkOptions::get)
+			.filter(Objects::nonNull)
+			.flatMap((annotations) -> Arrays.stream(annotations.split(",")))
+			.map(String::trim)
+			.filter((annotation) -> !annotation.isEmpty())
+			.distinct()
+			.sorted()
+			.toList();
+	}
+
+	private Provider<Boolean> isAnalysisSharded(NullabilityPluginExtension nullability) {
+		return analysisShards(nullability).map((shards) -> true).orElse(false);
+	}
+
+	private Provider<Integer> analysisShards(NullabilityPluginExtension nullability) {
+		return nullability.getAnalysisShards().map((shards) -> {
+			if (shards < 1) {
+				throw new InvalidUserDataException("nullability.analysisShards must be at least 1 but was " + shards);
+			}
+			return shards;
 		});
 	}
 
+	private List<String> analysisArguments(JavaCompile compile) {
+		CompileOptions options = compile.getOptions();
+		ErrorProneOptions errorProneOptions = errorProneOptions(compile);
+		List<String> arguments = new ArrayList<>();
+		if (options.getRelease().isPresent()) {
+			arguments.add("--release");
+			arguments.add(String.valueOf(options.getRelease().get()));
+		}
+		else {
+			arguments.add("-source");
+			arguments.add(compile.getSourceCompatibility());
+			arguments.add("-target");
+			arguments.add(compile.getTargetCompatibility());
+		}
+		if (options.getEncoding() != null) {
+			arguments.add("-encoding");
+			arguments.add(options.getEncoding());
+		}
+		arguments.addAll(options.getAllCompilerArgs());
+		// Required by Error Prone, see https://errorprone.info/docs/installation
+		arguments.add("-XDcompilePolicy=simple");
+		arguments.add("--should-stop=ifError=FLOW");
+		arguments.add("-Xplugin:ErrorProne " + errorProneOptions);
+		return arguments;
+	}
+
+	private boolean compilesSourceSet(Project project, JavaCompile compileTask) {
+		SourceSetContainer sourceSets = project.getExtensions().findByType(SourceSetContainer.class);
+		return sourceSets != null && sourceSets.stream()
+			.anyMatch((sourceSet) -> sourceSet.getCompileJavaTaskName().equals(compileTask.getName()));
+	}
+
 	private boolean compilesMainSources(JavaCompile compileTask) {
 		return COMPILE_MAIN_SOURCES_TASK_NAME.matcher(compileTask.getName()).matches();
 	}
 
+	private boolean compilesMultiReleaseSources(JavaCompile compileTask) {
+		Matcher matcher = COMPILE_MAIN_SOURCES_TASK_NAME.matcher(compileTask.getName());
+		return matcher.matches() && matcher.group(1) != null;
+	}
+
+	private Provider<String> sourcesSharedWithCompileJava(Project project, NullabilityPluginExtension nullability,
+			JavaCompile compileTask) {
+		return project.provider(() -> {
+			JavaCompile compileJava = (JavaCompile) project.getTasks().findByName(JavaPlugin.COMPILE_JAVA_TASK_NAME);
+			if (compileJava == null || !isChecked(nullability, compileJava)
+					|| !analysisConfiguration(compileJava).equals(analysisConfiguration(compileTask))) {
+				return null;
+			}
+			Pattern excludedFromCompileJava = excludedPaths(compileJava);
+			Map<File, String> checkedSources = relativePaths(compileJava.getSource());
+			Map<File, String> variantSources = relativePaths(compileTask.getSource());
+			Map<File, String> variantOnlySources = new HashMap<>(variantSources);
+			variantOnlySources.keySet().removeAll(checkedSources.keySet());
+			// Shared sources may depend on a type that the variant replaces
+			if (variantOnlySources.values().stream().anyMatch(checkedSources::containsValue)) {
+				return null;
+			}
+			List<String> variantOnlyPaths = variantOnlySources.keySet()
+				.stream()
+				.map((source) -> source.toURI().getPath())
+				.toList();
+			Set<String> sharedSources = new TreeSet<>();
+			for (File source : variantSources.keySet()) {
+				String path = projectRelativePath(project, source);
+				if (checkedSources.containsKey(source) && path != null
+						&& !isExcluded(excludedFromCompileJava, source)
+						&& variantOnlyPaths.stream().noneMatch((other) -> other.endsWith("/" + path))) {
+					sharedSources.add(excludedPathPattern(path));
+				}
+			}
+			return (!sharedSources.isEmpty()) ? ".*/(?:" + String.join("|", sharedSources) + ")" : null;
+		});
+	}
+
+	private Map<File, String> relativePaths(FileTree source) {
+		Map<File, String> relativePaths = new HashMap<>();
+		source.visit((details) -> {
+			if (!details.isDirectory()) {
+				relativePaths.put(details.getFile(), details.getRelativePath().getPathString());
+			}
+		});
+		return relativePaths;
+	}
+
+	private String projectRelativePath(Project project, File source) {
+		Path path = project.getProjectDir().toPath().relativize(source.toPath());
+		if (path.startsWith("..")) {
+			return null;
+		}
+		List<String> segments = new ArrayList<>();
+		path.forEach((segment) -> segments.add(segment.toString()));
+		return String.join("/", segments);
+	}
+
+	private String excludedPathPattern(String projectRelativePath) {
+		// Error Prone options cannot contain white space
+		return Pattern.quote(projectRelativePath).replace(" ", "\\E\\s\\Q");
+	}
+
+	private boolean isChecked(NullabilityPluginExtension nullability, JavaCompile compileTask) {
+		if (errorProneOptions(compileTask).getEnabled().get()) {
+			return true;
+		}
+		// Sharded analysis runs Error Prone outside of the compile task
+		return nullabilityOptions(compileTask).isCheckingEnabled().get() && isAnalysisSharded(nullability).get();
+	}
+
+	/**
+	 * Returns the configuration that determines how the given compile task analyzes its
+	 * sources. Error Prone's {@code excludedPaths} are not included as they are compared
+	 * separately. The compile task's {@link MultiReleaseExcludedPaths} are not included as
+	 * they depend on this configuration.
+	 * @param compileTask the compile task
+	 * @return the analysis configuration
+	 */
+	private List<Object> analysisConfiguration(JavaCompile compileTask) {
+		CompileOptions options = compileTask.getOptions();
+		ErrorProneOptions errorProneOptions = errorProneOptions(compileTask);
+		List<String> errorProneArguments = new ArrayList<>(errorProneOptions.getErrorproneArgs().get());
+		errorProneOptions.getErrorproneArgumentProviders()
+			.stream()
+			.filter((provider) -> !(provider instanceof MultiReleaseExcludedPaths))
+			.forEach((provider) -> provider.asArguments().forEach(errorProneArguments::add));
+		FileCollection processorPath = options.getAnnotationProcessorPath();
+		return Arrays.asList(List.copyOf(compileTask.getClasspath().getFiles()),
+				(processorPath != null) ? List.copyOf(processorPath.getFiles()) : null,
+				options.getRelease().getOrNull(), compileTask.getSourceCompatibility(),
+				compileTask.getTargetCompatibility(), options.getCompilerArgs(),
+				errorProneOptions.getDisableAllChecks().getOrNull(),
+				errorProneOptions.getAllErrorsAsWarnings().getOrNull(),
+				errorProneOptions.getAllDisabledChecksAsWarnings().getOrNull(),
+				errorProneOptions.getDisableWarningsInGeneratedCode().getOrNull(),
+				errorProneOptions.getIgnoreUnknownCheckNames().getOrNull(),
+				errorProneOptions.getIgnoreSuppressionAnnotations().getOrNull(),
+				errorProneOptions.getCompilingTestOnlyCode().getOrNull(), errorProneOptions.getChecks().get(),
+				errorProneOptions.getCheckOptions().get(), errorProneArguments);
+	}
+
+	private Pattern excludedPaths(JavaCompile compileTask) {
+		String excludedPaths = errorProneOptions(compileTask).getExcludedPaths().getOrNull();
+		return (excludedPaths != null) ? Pattern.compile(excludedPaths) : null;
+	}
+
+	private boolean isExcluded(Pattern excludedPaths, File source) {
+		// Error Prone matches excluded paths against the path of the source file's URI
+		return excludedPaths != null && excludedPaths.matcher(source.toURI().getPath()).matches();
+	}
+
+	private ErrorProneOptions errorProneOptions(JavaCompile compileTask) {
+		return ((ExtensionAware) compileTask.getOptions()).getExtensions().getByType(ErrorProneOptions.class);
+	}
+
+	private NullabilityOptions nullabilityOptions(JavaCompile compileTask) {
+		return ((ExtensionAware) compileTask.getOptions()).getExtensions().getByType(NullabilityOptions.class);
+	}
+
 }
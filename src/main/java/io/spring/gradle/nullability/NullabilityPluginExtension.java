@@ -16,6 +16,12 @@
 
 package io.spring.gradle.nullability;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Properties;
+
 import org.gradle.api.provider.Property;
 
 /**
@@ -25,9 +31,15 @@ import org.gradle.api.provider.Property;
  */
 public abstract class NullabilityPluginExtension {
 
-	static final String ERROR_PRONE_VERSION = "2.49.0";
+	private static final String DEFAULT_VERSIONS_RESOURCE = "default-versions.properties";
+
+	private static final Properties DEFAULT_VERSIONS = loadDefaultVersions();
+
+	static final String ERROR_PRONE_VERSION = DEFAULT_VERSIONS.getProperty("errorProneVersion");
+
+	static final String NULL_AWAY_VERSION = DEFAULT_VERSIONS.getProperty("nullAwayVersion");
 
-	static final String NULL_AWAY_VERSION = "0.13.4";
+	static final String PROFILER_VERSION = DEFAULT_VERSIONS.getProperty("profilerVersion");
 
 	/**
 	 * Internal use only.
@@ -56,4 +68,44 @@ public abstract class NullabilityPluginExtension {
 	 */
 	public abstract Property<Boolean> getRequireExplicitNullMarking();
 
+	/**
+	 * The duration after which a checked compilation is considered to be slow. When set,
+	 * a Java Flight Recorder profile of each checked compilation is recorded and, if the
+	 * compilation is slow, written to {@code build/reports/nullability/<task name>} along
+	 * with the effective Error Prone arguments and version metadata.
+	 * @return the property for the slow compilation threshold
+	 */
+	public abstract Property<Duration> getSlowCompilationThreshold();
+
+	/**
+	 * The number of shards into which the nullability analysis of each source set is
+	 * split. When set, a source set's sources are analyzed by its
+	 * {@link NullabilityAnalysis} task rather than during compilation.
+	 * @return the property for the number of analysis shards
+	 */
+	public abstract Property<Integer> getAnalysisShards();
+
+	/**
+	 * The executor that analyzes the shards of a source set's nullability analysis.
+	 * Defaults to a {@link LocalProcessNullabilityAnalysisExecutor}.
+	 * @return the property for the analysis executor
+	 */
+	public abstract Property<NullabilityAnalysisExecutor> getAnalysisExecutor();
+
+	private static Properties loadDefaultVersions() {
+		Properties versions = new Properties();
+		try (InputStream input = NullabilityPluginExtension.class.getResourceAsStream(DEFAULT_VERSIONS_RESOURCE)) {
+			if (input == null) {
+				String resource = NullabilityPluginExtension.class.getPackageName().replace('.', '/') + "/"
+						+ DEFAULT_VERSIONS_RESOURCE;
+				throw new IllegalStateException("Default versions resource '" + resource + "' was not found");
+			}
+			versions.load(input);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		return versions;
+	}
+
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.gradle.nullability;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.process.CommandLineArgumentProvider;
+
+/**
+ * {@link CommandLineArgumentProvider} that enables the nullability profiler javac plugin
+ * when a slow compilation threshold has been configured. Only whether profiling is
+ * enabled is an input of the compile task so changing the threshold does not cause
+ * compilation to run again.
+ *
+ * @author agent
+ */
+class NullabilityProfilingArguments implements CommandLineArgumentProvider {
+
+	private static final String PROFILER_PLUGIN_NAME = "NullabilityProfiler";
+
+	private final Provider<Long> threshold;
+
+	private final Provider<Directory> outputDir;
+
+	private final Provider<RegularFile> metadata;
+
+	NullabilityProfilingArguments(Provider<Long> threshold, Provider<Directory> outputDir,
+			Provider<RegularFile> metadata) {
+		this.threshold = threshold;
+		this.outputDir = outputDir;
+		this.metadata = metadata;
+	}
+
+	@Input
+	public Provider<Boolean> getProfilingEnabled() {
+		return this.threshold.map((threshold) -> true).orElse(false);
+	}
+
+	@Internal
+	public Provider<Long> getThreshold() {
+		return this.threshold;
+	}
+
+	@Internal
+	public Provider<Directory> getOutputDir() {
+		return this.outputDir;
+	}
+
+	@Internal
+	public Provider<RegularFile> getMetadata() {
+		return this.metadata;
+	}
+
+	@Override
+	public Iterable<String> asArguments() {
+		if (!this.threshold.isPresent()) {
+			return Collections.emptyList();
+		}
+		return List.of("-Xplugin:" + PROFILER_PLUGIN_NAME + " " + this.threshold.get() + " "
+				+ this.outputDir.get().getAsFile().toURI() + " " + this.metadata.get().getAsFile().toURI());
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.gradle.nullability;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Properties;
+
+import javax.inject.Inject;
+
+import org.gradle.api.Action;
+import org.gradle.api.Task;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.provider.Provider;
+
+/**
+ * {@link Action} that prepares a compile task for profiling by the nullability profiler
+ * javac plugin. When profiling is enabled, removes any profile from a previous
+ * compilation and writes the metadata that accompanies a profile. Does nothing when
+ * profiling is disabled, for example because no slow compilation threshold has been
+ * configured or Error Prone is disabled. Instances are created using
+ * {@link org.gradle.api.model.ObjectFactory#newInstance ObjectFactory.newInstance}.
+ *
+ * @author agent
+ */
+abstract class NullabilityProfilingMetadata implements Action<Task> {
+
+	private final Provider<Long> threshold;
+
+	private final Provider<Directory> outputDir;
+
+	private final Provider<RegularFile> metadata;
+
+	private final Provider<String> errorProneArguments;
+
+	private final Provider<String> errorProneVersion;
+
+	private final Provider<String> nullAwayVersion;
+
+	private final Provider<String> javaVersion;
+
+	@Inject
+	public NullabilityProfilingMetadata(Provider<Long> threshold, Provider<Directory> outputDir,
+			Provider<RegularFile> metadata, Provider<String> errorProneArguments, Provider<String> errorProneVersion,
+			Provider<String> nullAwayVersion, Provider<String> javaVersion) {
+		this.threshold = threshold;
+		this.outputDir = outputDir;
+		this.metadata = metadata;
+		this.errorProneArguments = errorProneArguments;
+		this.errorProneVersion = errorProneVersion;
+		this.nullAwayVersion = nullAwayVersion;
+		this.javaVersion = javaVersion;
+	}
+
+	@Inject
+	protected abstract FileSystemOperations getFileSystemOperations();
+
+	@Override
+	public void execute(Task task) {
+		if (!this.threshold.isPresent()) {
+			return;
+		}
+		getFileSystemOperations().delete((spec) -> spec.delete(this.outputDir));
+		Properties properties = new Properties();
+		properties.setProperty("task", task.getPath());
+		properties.setProperty("threshold", this.threshold.get() + "ms");
+		properties.setProperty("errorProne.version", this.errorProneVersion.get());
+		properties.setProperty("errorProne.arguments", this.errorProneArguments.get());
+		properties.setProperty("nullAway.version", this.nullAwayVersion.get());
+		properties.setProperty("java.version", this.javaVersion.getOrElse("unknown"));
+		File metadataFile = this.metadata.get().getAsFile();
+		metadataFile.getParentFile().mkdirs();
+		try (OutputStream output = Files.newOutputStream(metadataFile.toPath())) {
+			properties.store(output, "Nullability profiling metadata");
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.gradle.nullability;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads the nullness signatures of compiled classes. A class's nullness signatures
+ * describe the class, its supertypes, and its generic signature, its nullness-related
+ * annotations, and the name and descriptor of each of its non-private, non-synthetic
+ * members together with the member's generic signature and nullness-related
+ * annotations. Synthetic classes are ignored, apart from {@code package-info} and
+ * {@code module-info} classes which carry package- and module-level annotations such as
+ * {@code @NullMarked}. Changes to a class that leave its nullness signatures untouched
+ * do not affect nullability analysis of code that uses it.
+ *
+ * @author agent
+ */
+final class NullnessSignatures {
+
+	/**
+	 * Simple names of the annotations that NullAway recognizes by name, regardless of
+	 * their package. Includes the annotations that NullAway only recognizes in some
+	 * packages or when certain options are set, such as Guava's
+	 * {@code @ParametricNullness} and androidx's {@code @RecentlyNullable} and
+	 * {@code @RecentlyNonNull}, so that the signatures do not depend on NullAway's
+	 * configuration.
+	 */
+	private static final Set<String> NULLNESS_ANNOTATIONS = Set.of("CheckForNull", "Contract", "EnsuresNonNull",
+			"EnsuresNonNullIf", "MonotonicNonNull", "NonNull", "Nonnull", "NotNull", "NullMarked", "NullUnmarked",
+			"Nullable", "NullableDecl", "NullnessUnspecified", "ParametricNullness", "PolyNull", "RecentlyNonNull",
+			"RecentlyNullable", "RequiresNonNull");
+
+	private static final int ACC_PRIVATE = 0x0002;
+
+	private static final int ACC_SYNTHETIC = 0x1000;
+
+	private NullnessSignatures() {
+	}
+
+	/**
+	 * Returns a digest of the nullness signatures of all the classes in the given
+	 * classpath entry.
+	 * @param entry the classpath entry, either a directory or a jar file
+	 * @param customAnnotations the fully-qualified names of additional nullness-related
+	 * annotations
+	 * @return the digest
+	 * @throws IOException if the entry cannot be read
+	 */
+	static String digest(File entry, Set<String> customAnnotations) throws IOException {
+		Set<String> signatures = new TreeSet<>();
+		if (entry.isDirectory()) {
+			try (Stream<Path> paths = Files.walk(entry.toPath())) {
+				for (Path path : paths.filter((candidate) -> candidate.toString().endsWith(".class")).toList()) {
+					try (InputStream input = Files.newInputStream(path)) {
+						signatures.addAll(read(input, customAnnotations));
+					}
+				}
+			}
+		}
+		else if (entry.isFile()) {
+			try (ZipFile zip = new ZipFile(entry)) {
+				Enumeration<? extends ZipEntry> entries = zip.entries();
+				while (entries.hasMoreElements()) {
+					ZipEntry zipEntry = entries.nextElement();
+					if (zipEntry.getName().endsWith(".class")) {
+						try (InputStream input = zip.getInputStream(zipEntry)) {
+							signatures.addAll(read(input, customAnnotations));
+						}
+					}
+				}
+			}
+		}
+		return digest(signatures);
+	}
+
+	private static String digest(Set<String> signatures) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			for (String signature : signatures) {
+				digest.update(signature.getBytes(StandardCharsets.UTF_8));
+				digest.update((byte) '\n');
+			}
+			return HexFormat.of().formatHex(digest.digest());
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * Reads the nullness signatures of the given class file.
+	 * @param classFile the class file
+	 * @param customAnnotations the fully-qualified names of additional nullness-related
+	 * annotations
+	 * @return the nullness signatures
+	 * @throws IOException if the class file cannot be read
+	 */
+	static List<String> read(InputStream classFile, Set<String> customAnnotations) throws IOException {
+		DataInputStream input = new DataInputStream(new ByteArrayInputStream(classFile.readAllBytes()));
+		return new ClassFileReader(input, customAnnotations).read();
+	}
+
+	private static final class ClassFileReader {
+
+		private final DataInputStream input;
+
+		private final Set<String> customAnnotations;
+
+		private Object[] constants;
+
+		ClassFileReader(DataInputStream input, Set<String> customAnnotations) {
+			this.input = input;
+			this.customAnnotations = customAnnotations;
+		}
+
+		List<String> read() throws IOException {
+			List<String> signatures = new ArrayList<>();
+			if (this.input.readInt() != 0xCAFEBABE) {
+				return signatures;
+			}
+			this.input.readUnsignedShort();
+			this.input.readUnsignedShort();
+			readConstants();
+			int access = this.input.readUnsignedShort();
+			String name = className(this.input.readUnsignedShort());
+			String superName = className(this.input.readUnsignedShort());
+			List<String> interfaces = new ArrayList<>();
+			int interfaceCount = this.input.readUnsignedShort();
+			for (int i = 0; i < interfaceCount; i++) {
+				interfaces.add(className(this.input.readUnsignedShort()));
+			}
+			List<String> fields = readMembers();
+			List<String> methods = readMembers();
+			Attributes attributes = readAttributes();
+			if ((access & ACC_SYNTHETIC) != 0 && !isPackageOrModuleInfo(name)) {
+				return signatures;
+			}
+			signatures.add(name + " extends " + superName + " implements " + String.join(",", interfaces));
+			if (attributes.signature() != null) {
+				signatures.add(name + " signature " + attributes.signature());
+			}
+			attributes.annotations().forEach((annotation) -> signatures.add(name + " " + annotation));
+			fields.forEach((field) -> signatures.add(name + "." + field));
+			methods.forEach((method) -> signatures.add(name + "." + method));
+			return signatures;
+		}
+
+		private boolean isPackageOrModuleInfo(String name) {
+			return name.equals("module-info") || name.equals("package-info") || name.endsWith("/package-info");
+		}
+
+		private void readConstants() throws IOException {
+			int count = this.input.readUnsignedShort();
+			this.constants = new Object[count];
+			for (int i = 1; i < count; i++) {
+				int tag = this.input.readUnsignedByte();
+				switch (tag) {
+					case 1 -> this.constants[i] = this.input.readUTF();
+					case 3 -> this.constants[i] = this.input.readInt();
+					case 4 -> this.constants[i] = this.input.readFloat();
+					case 5 -> this.constants[i++] = this.input.readLong();
+					case 6 -> this.constants[i++] = this.input.readDouble();
+					case 7, 8, 16, 19, 20 -> this.constants[i] = new Reference(this.input.readUnsignedShort());
+					case 15 -> this.input.skipBytes(3);
+					case 9, 10, 11, 12, 17, 18 -> this.input.skipBytes(4);
+					default -> throw new IOException("Unexpected constant pool tag " + tag);
+				}
+			}
+		}
+
+		private String className(int index) {
+			return (index != 0) ? (String) this.constants[((Reference) this.constants[index]).index()] : "";
+		}
+
+		private List<String> readMembers() throws IOException {
+			List<String> members = new ArrayList<>();
+			int count = this.input.readUnsignedShort();
+			for (int i = 0; i < count; i++) {
+				int access = this.input.readUnsignedShort();
+				String name = (String) this.constants[this.input.readUnsignedShort()];
+				String descriptor = (String) this.constants[this.input.readUnsignedShort()];
+				Attributes attributes = readAttributes();
+				if ((access & (ACC_PRIVATE | ACC_SYNTHETIC)) == 0) {
+					StringBuilder member = new StringBuilder(name).append(descriptor);
+					if (attributes.signature() != null) {
+						member.append(" signature ").append(attributes.signature());
+					}
+					attributes.annotations().forEach((annotation) -> member.append(" ").append(annotation));
+					members.add(member.toString());
+				}
+			}
+			return members;
+		}
+
+		private Attributes readAttributes() throws IOException {
+			String signature = null;
+			List<String> annotations = new ArrayList<>();
+			int count = this.input.readUnsignedShort();
+			for (int i = 0; i < count; i++) {
+				String name = (String) this.constants[this.input.readUnsignedShort()];
+				int length = this.input.readInt();
+				switch (name) {
+					case "Signature" -> signature = (String) constant();
+					case "RuntimeVisibleAnnotations", "RuntimeInvisibleAnnotations" ->
+						readAnnotations(annotations, "");
+					case "RuntimeVisibleParameterAnnotations", "RuntimeInvisibleParameterAnnotations" -> {
+						int parameterCount = this.input.readUnsignedByte();
+						for (int parameter = 0; parameter < parameterCount; parameter++) {
+							readAnnotations(annotations, "parameter" + parameter + ":");
+						}
+					}
+					case "RuntimeVisibleTypeAnnotations", "RuntimeInvisibleTypeAnnotations" ->
+						readTypeAnnotations(annotations);
+					default -> this.input.skipBytes(length);
+				}
+			}
+			annotations.sort(null);
+			return new Attributes(signature, annotations);
+		}
+
+		private void readAnnotations(List<String> annotations, String prefix) throws IOException {
+			int count = this.input.readUnsignedShort();
+			for (int i = 0; i < count; i++) {
+				addIfNullnessAnnotation(annotations, prefix, readAnnotation());
+			}
+		}
+
+		private void readTypeAnnotations(List<String> annotations) throws IOException {
+			int count = this.input.readUnsignedShort();
+			for (int i = 0; i < count; i++) {
+				StringBuilder target = new StringBuilder("type");
+				int targetType = this.input.readUnsignedByte();
+				target.append(Integer.toHexString(targetType));
+				int targetInfoLength = switch (targetType) {
+					case 0x00, 0x01, 0x16 -> 1;
+					case 0x10, 0x11, 0x12, 0x17, 0x42, 0x43, 0x44, 0x45, 0x46 -> 2;
+					case 0x13, 0x14, 0x15 -> 0;
+					case 0x47, 0x48, 0x49, 0x4A, 0x4B -> 3;
+					case 0x40, 0x41 -> 6 * this.input.readUnsignedShort();
+					default -> throw new IOException("Unexpected type annotation target type " + targetType);
+				};
+				appendBytes(target, targetInfoLength);
+				appendBytes(target, 2 * this.input.readUnsignedByte());
+				addIfNullnessAnnotation(annotations, target.append(":").toString(), readAnnotation());
+			}
+		}
+
+		private void appendBytes(StringBuilder target, int length) throws IOException {
+			for (int i = 0; i < length; i++) {
+				target.append('-').append(this.input.readUnsignedByte());
+			}
+		}
+
+		private void addIfNullnessAnnotation(List<String> annotations, String prefix, String annotation) {
+			String type = annotation.substring("@L".length(), annotation.indexOf(';'));
+			String simpleName = type.substring(type.lastIndexOf('/') + 1);
+			if (NULLNESS_ANNOTATIONS.contains(simpleName) || isCustomAnnotation(type)) {
+				annotations.add(prefix + annotation);
+			}
+		}
+
+		private boolean isCustomAnnotation(String type) {
+			String binaryName = type.replace('/', '.');
+			return this.customAnnotations.contains(binaryName)
+					|| this.customAnnotations.contains(binaryName.replace('$', '.'));
+		}
+
+		private String readAnnotation() throws IOException {
+			StringBuilder annotation = new StringBuilder("@");
+			annotation.append((String) this.constants[this.input.readUnsignedShort()]);
+			int count = this.input.readUnsignedShort();
+			annotation.append("(");
+			for (int i = 0; i < count; i++) {
+				if (i > 0) {
+					annotation.append(",");
+				}
+				annotation.append((String) this.constants[this.input.readUnsignedShort()]).append("=");
+				annotation.append(readElementValue());
+			}
+			return annotation.append(")").toString();
+		}
+
+		private String readElementValue() throws IOException {
+			int tag = this.input.readUnsignedByte();
+			return switch (tag) {
+				case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's' -> String.valueOf(constant());
+				case 'e' -> constant() + "." + constant();
+				case 'c' -> String.valueOf(constant());
+				case '@' -> readAnnotation();
+				case '[' -> {
+					List<String> values = new ArrayList<>();
+					int count = this.input.readUnsignedShort();
+					for (int i = 0; i < count; i++) {
+						values.add(readElementValue());
+					}
+					yield "{" + String.join(",", values) + "}";
+				}
+				default -> throw new IOException("Unexpected element value tag " + (char) tag);
+			};
+		}
+
+		private Object constant() throws IOException {
+			return this.constants[this.input.readUnsignedShort()];
+		}
+
+	}
+
+	private record Attributes(String signature, List<String> annotations) {
+
+	}
+
+	private record Reference(int index) {
+
+	}
+
+}
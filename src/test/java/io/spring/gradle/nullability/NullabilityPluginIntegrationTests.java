@@ -53,7 +53,8 @@ class NullabilityPluginIntegrationTests {
 	void usesCustomErrorProneVersion() {
 		BuildResult result = this.gradleBuild.build("dependencies", "--configuration", "errorprone");
 		assertThat(result.getOutput()).contains("com.google.errorprone:error_prone_core:2.37.0")
-			.contains("com.uber.nullaway:nullaway:" + NullabilityPluginExtension.NULL_AWAY_VERSION);
+			.contains("com.uber.nullaway:nullaway:" + NullabilityPluginExtension.NULL_AWAY_VERSION)
+			.doesNotContain("FAILED");
 	}
 
 	@Test
@@ -61,7 +62,8 @@ class NullabilityPluginIntegrationTests {
 		BuildResult result = this.gradleBuild.build("dependencies", "--configuration", "errorprone");
 		assertThat(result.getOutput())
 			.contains("com.google.errorprone:error_prone_core:" + NullabilityPluginExtension.ERROR_PRONE_VERSION)
-			.contains("com.uber.nullaway:nullaway:0.12.6");
+			.contains("com.uber.nullaway:nullaway:0.12.6")
+			.doesNotContain("FAILED");
 	}
 
 	@Test
@@ -170,9 +172,172 @@ class NullabilityPluginIntegrationTests {
 		assertThat(result.task(":compileJava").getOutcome()).isEqualTo(TaskOutcome.SUCCESS);
 	}
 
+	@Test
+	void multiReleaseCompileDoesNotReanalyzeSourcesSharedWithCompileJava() {
+		writeSource("main");
+		BuildResult result = this.gradleBuild.build("compile17Java");
+		assertThat(result.task(":compile17Java").getOutcome()).isEqualTo(TaskOutcome.SUCCESS);
+	}
+
+	@Test
+	void multiReleaseCompileAnalyzesSharedSourcesWhenCompileJavaIsNotChecked() {
+		writeSource("main");
+		BuildResult result = this.gradleBuild.prepareRunner("compile17Java").buildAndFail();
+		assertThat(result.getOutput()).contains("[NullAway] assigning @Nullable expression to @NonNull field");
+	}
+
+	@Test
+	void multiReleaseCompileAnalyzesSharedSourcesThatAreExcludedFromCompileJava() {
+		writeSource("main");
+		BuildResult result = this.gradleBuild.prepareRunner("compile17Java").buildAndFail();
+		assertThat(result.getOutput()).contains("[NullAway] assigning @Nullable expression to @NonNull field");
+	}
+
+	@Test
+	void multiReleaseCompileAnalyzesSharedSourcesWhenItsOptionsDifferFromCompileJava() {
+		writeExampleClass(createSrcDirectories("main"));
+		BuildResult result = this.gradleBuild.prepareRunner("compile17Java").buildAndFail();
+		assertThat(result.task(":compileJava").getOutcome()).isEqualTo(TaskOutcome.SUCCESS);
+		assertThat(result.getOutput()).contains("[RequireExplicitNullMarking]");
+	}
+
+	@Test
+	void multiReleaseCompileAnalyzesSourcesThatAreNotSharedWithCompileJava() throws IOException {
+		writePackageInfo(createSrcDirectories("main"));
+		writeExampleClass(createSrcDirectories("main", "java17"));
+		BuildResult result = this.gradleBuild.prepareRunner("compile17Java").buildAndFail();
+		assertThat(result.getOutput()).contains("[NullAway] assigning @Nullable expression to @NonNull field");
+	}
+
+	@Test
+	void multiReleaseCompileAnalyzesSharedSourcesWhenItReplacesATypeOfCompileJava() {
+		Path pkg = createSrcDirectories("main");
+		writePackageInfo(pkg);
+		writeGreetingClass(pkg, "String");
+		writeGreeterClass(pkg);
+		writeGreetingClass(createSrcDirectories("main", "java17"), "@Nullable String");
+		BuildResult result = this.gradleBuild.prepareRunner("compile17Java").buildAndFail();
+		assertThat(result.getOutput()).contains("[NullAway] dereferenced expression Greeting.text() is @Nullable");
+	}
+
+	@Test
+	void shardedAnalysisFailsForNullabilityViolationInMainCode() throws IOException {
+		Path pkg = createSrcDirectories("main");
+		writePackageInfo(pkg);
+		writeExampleClass(pkg);
+		writeContractComplianceClass(pkg);
+		BuildResult result = this.gradleBuild.prepareRunner("compileJava").buildAndFail();
+		assertThat(result.task(":compileJava").getOutcome()).isEqualTo(TaskOutcome.SUCCESS);
+		assertThat(result.task(":nullabilityAnalysis").getOutcome()).isEqualTo(TaskOutcome.FAILED);
+		assertThat(result.getOutput()).contains("[NullAway] assigning @Nullable expression to @NonNull field");
+	}
+
+	@Test
+	void shardedAnalysisSucceedsForCodeThatCompliesWithItsContract() {
+		Path pkg = createSrcDirectories("main");
+		writePackageInfo(pkg);
+		writeContractComplianceClass(pkg);
+		BuildResult result = this.gradleBuild.build("compileJava");
+		assertThat(result.task(":nullabilityAnalysis").getOutcome()).isEqualTo(TaskOutcome.SUCCESS);
+	}
+
+	@Test
+	void shardedAnalysisIsUpToDateWhenClasspathChangeDoesNotAffectNullness() {
+		writeLibraryUsage("Library.value().length()");
+		writeLibraryClass("""
+				public static final String NAME = "name";
+
+				public static String value() { return NAME; }
+				""");
+		this.gradleBuild.build("compileJava");
+		writeLibraryClass("""
+				public static final String NAME = "other name";
+
+				public static String value() { return NAME; }
+				""");
+		BuildResult result = this.gradleBuild.build("compileJava");
+		assertThat(result.task(":compileJava").getOutcome()).isEqualTo(TaskOutcome.SUCCESS);
+		assertThat(result.task(":nullabilityAnalysis").getOutcome()).isEqualTo(TaskOutcome.UP_TO_DATE);
+	}
+
+	@Test
+	void shardedAnalysisRunsWhenClasspathChangeAffectsNullness() throws IOException {
+		writeLibraryUsage("Library.value().length()");
+		writeLibraryClass("public static String value() { return \"value\"; }");
+		this.gradleBuild.build("compileJava");
+		writeLibraryClass("public static @Nullable String value() { return null; }");
+		BuildResult result = this.gradleBuild.prepareRunner("compileJava").buildAndFail();
+		assertThat(result.task(":nullabilityAnalysis").getOutcome()).isEqualTo(TaskOutcome.FAILED);
+		assertThat(result.getOutput()).contains("[NullAway] dereferenced expression Library.value() is @Nullable");
+	}
+
+	@Test
+	void shardedAnalysisRunsWhenClasspathChangeAffectsNullnessThroughNullableDecl() {
+		writeLibraryUsage("Library.value().length()");
+		writeLibraryClass("public static String value() { return \"value\"; }");
+		this.gradleBuild.build("compileJava");
+		writeLibraryClass("@org.checkerframework.checker.nullness.compatqual.NullableDecl "
+				+ "public static String value() { return null; }");
+		BuildResult result = this.gradleBuild.prepareRunner("compileJava").buildAndFail();
+		assertThat(result.task(":nullabilityAnalysis").getOutcome()).isEqualTo(TaskOutcome.FAILED);
+		assertThat(result.getOutput()).contains("[NullAway] dereferenced expression Library.value() is @Nullable");
+	}
+
+	@Test
+	void shardedAnalysisRunsWhenClasspathChangeOnlyAffectsAGenericSignature() {
+		writeLibraryUsage("Library.values().size()");
+		writeLibraryClass("public static List<String> values() { return List.of(); }");
+		this.gradleBuild.build("compileJava");
+		writeLibraryClass("public static List<Object> values() { return List.of(); }");
+		BuildResult result = this.gradleBuild.build("compileJava");
+		assertThat(result.task(":nullabilityAnalysis").getOutcome()).isEqualTo(TaskOutcome.SUCCESS);
+	}
+
+	@Test
+	void shardedAnalysisRunsWhenLibraryPackageBecomesNullMarked() {
+		writeLibraryUsage("Library.value().length()");
+		writeLibraryPackageInfo("");
+		writeLibraryClass("", "public static @Nullable String value() { return null; }");
+		this.gradleBuild.build("compileJava");
+		writeLibraryPackageInfo("@NullMarked");
+		BuildResult result = this.gradleBuild.prepareRunner("compileJava").buildAndFail();
+		assertThat(result.task(":nullabilityAnalysis").getOutcome()).isEqualTo(TaskOutcome.FAILED);
+		assertThat(result.getOutput()).contains("[NullAway] dereferenced expression Library.value() is @Nullable");
+	}
+
+	@Test
+	void compilationThatExceedsSlowCompilationThresholdIsProfiled() throws IOException {
+		Path pkg = createSrcDirectories("main");
+		writePackageInfo(pkg);
+		writeContractComplianceClass(pkg);
+		this.gradleBuild.build("compileJava");
+		Path report = this.gradleBuild.getProjectDir().toPath().resolve("build/reports/nullability/compileJava");
+		assertThat(report.resolve("compilation.jfr")).isNotEmptyFile();
+		assertThat(Files.readString(report.resolve("metadata.properties")))
+			.contains("errorProne.version=" + NullabilityPluginExtension.ERROR_PRONE_VERSION)
+			.contains("nullAway.version=" + NullabilityPluginExtension.NULL_AWAY_VERSION)
+			.contains("-Xep\\:NullAway\\:ERROR");
+	}
+
+	@Test
+	void compilationWithoutSlowCompilationThresholdLeavesReportsUntouched() throws IOException {
+		Path pkg = createSrcDirectories("main");
+		writePackageInfo(pkg);
+		writeContractComplianceClass(pkg);
+		Path report = this.gradleBuild.getProjectDir().toPath().resolve("build/reports/nullability/compileJava");
+		Files.createDirectories(report);
+		Files.writeString(report.resolve("compilation.jfr"), "profile");
+		this.gradleBuild.build("compileJava");
+		assertThat(report.resolve("compilation.jfr")).hasContent("profile");
+	}
+
 	private Path createSrcDirectories(String sourceSetName) {
+		return createSrcDirectories(sourceSetName, "java");
+	}
+
+	private Path createSrcDirectories(String sourceSetName, String sourceDirectoryName) {
 		Path projectDir = this.gradleBuild.getProjectDir().toPath();
-		Path pkg = projectDir.resolve("src/%s/java/com/example".formatted(sourceSetName));
+		Path pkg = projectDir.resolve("src/%s/%s/com/example".formatted(sourceSetName, sourceDirectoryName));
 		try {
 			Files.createDirectories(pkg);
 		}
@@ -219,6 +384,114 @@ class NullabilityPluginIntegrationTests {
 		}
 	}
 
+	private void writeLibraryUsage(String expression) {
+		Path pkg = createSrcDirectories("main");
+		writePackageInfo(pkg);
+		try {
+			Files.writeString(pkg.resolve("LibraryUsage.java"), """
+					package com.example;
+
+					import com.example.library.Library;
+
+					public class LibraryUsage {
+
+						public int length() {
+							return %s;
+						}
+
+					}
+					""".formatted(expression));
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private void writeLibraryPackageInfo(String annotations) {
+		Path pkg = createSrcDirectories("library").resolve("library");
+		try {
+			Files.createDirectories(pkg);
+			Files.writeString(pkg.resolve("package-info.java"), """
+					%s
+					package com.example.library;
+
+					import org.jspecify.annotations.NullMarked;
+					""".formatted(annotations));
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private void writeLibraryClass(String methods) {
+		writeLibraryClass("@NullMarked", methods);
+	}
+
+	private void writeLibraryClass(String annotations, String methods) {
+		Path pkg = createSrcDirectories("library").resolve("library");
+		try {
+			Files.createDirectories(pkg);
+			Files.writeString(pkg.resolve("Library.java"), """
+					package com.example.library;
+
+					import java.util.List;
+
+					import org.jspecify.annotations.NullMarked;
+					import org.jspecify.annotations.Nullable;
+
+					%s
+					public class Library {
+
+					%s
+
+					}
+					""".formatted(annotations, methods));
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private void writeGreetingClass(Path pkg, String returnType) {
+		try {
+			Files.writeString(pkg.resolve("Greeting.java"), """
+					package com.example;
+
+					import org.jspecify.annotations.Nullable;
+
+					public class Greeting {
+
+						public static %s text() {
+							return "Hello";
+						}
+
+					}
+					""".formatted(returnType));
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private void writeGreeterClass(Path pkg) {
+		try {
+			Files.writeString(pkg.resolve("Greeter.java"), """
+					package com.example;
+
+					public class Greeter {
+
+						public int length() {
+							return Greeting.text().length();
+						}
+
+					}
+					""");
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
 	private void writeContractViolationClass(Path pkg) {
 		try {
 			Files.writeString(pkg.resolve("ContractViolation.java"), """
@@ -0,0 +1,456 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.gradle.nullability;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link NullnessSignatures}.
+ *
+ * @author agent
+ */
+class NullnessSignaturesTests {
+
+	private static final Map<String, String> ANNOTATIONS = Map.of("Nullable", """
+			@Target(ElementType.TYPE_USE)
+			@Retention(RetentionPolicy.RUNTIME)
+			public @interface Nullable {
+			}
+			""", "NullableDecl", """
+			@Target({ ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER })
+			@Retention(RetentionPolicy.CLASS)
+			public @interface NullableDecl {
+			}
+			""", "NullMarked", """
+			@Target({ ElementType.MODULE, ElementType.PACKAGE, ElementType.TYPE })
+			@Retention(RetentionPolicy.RUNTIME)
+			public @interface NullMarked {
+			}
+			""", "Contract", """
+			@Target(ElementType.METHOD)
+			@Retention(RetentionPolicy.CLASS)
+			public @interface Contract {
+				String value();
+			}
+			""", "EnsuresNonNull", """
+			@Target(ElementType.METHOD)
+			@Retention(RetentionPolicy.CLASS)
+			public @interface EnsuresNonNull {
+				String[] value();
+			}
+			""", "Other", """
+			@Target({ ElementType.METHOD, ElementType.PACKAGE, ElementType.TYPE_USE })
+			@Retention(RetentionPolicy.RUNTIME)
+			public @interface Other {
+			}
+			""");
+
+	@TempDir
+	Path temp;
+
+	private int compilations;
+
+	@Test
+	void readsTypeUseAnnotationOnAMethodReturnType() {
+		Path classes = compile("Example", """
+				public class Example {
+					public @Nullable String value() { return null; }
+				}
+				""");
+		assertThat(read(classes, "com/example/Example"))
+			.contains("com/example/Example.value()Ljava/lang/String; type14:@Lcom/example/annotations/Nullable;()");
+	}
+
+	@Test
+	void readsTypeUseAnnotationOnAGenericTypeArgument() {
+		Path classes = compile("Example", """
+				public class Example {
+					public List<@Nullable String> values() { return List.of(); }
+				}
+				""");
+		assertThat(read(classes, "com/example/Example")).contains(
+				"com/example/Example.values()Ljava/util/List; signature ()Ljava/util/List<Ljava/lang/String;>; "
+						+ "type14-3-0:@Lcom/example/annotations/Nullable;()");
+	}
+
+	@Test
+	void typeUseAnnotationOnAGenericTypeArgumentAffectsDigest() {
+		assertThat(digest("Example", """
+				public class Example {
+					public Map<String, String> values() { return Map.of(); }
+				}
+				""")).isNotEqualTo(digest("Example", """
+				public class Example {
+					public Map<String, @Nullable String> values() { return Map.of(); }
+				}
+				"""));
+	}
+
+	@Test
+	void typeUseAnnotationOnAMethodTypeParameterBoundAffectsDigest() {
+		assertThat(digest("Example", """
+				public class Example {
+					public <T extends Object> T identity(T value) { return value; }
+				}
+				""")).isNotEqualTo(digest("Example", """
+				public class Example {
+					public <T extends @Nullable Object> T identity(T value) { return value; }
+				}
+				"""));
+	}
+
+	@Test
+	void typeUseAnnotationOnAClassTypeParameterBoundAffectsDigest() {
+		assertThat(digest("Box", """
+				public class Box<T extends Object> {
+				}
+				""")).isNotEqualTo(digest("Box", """
+				public class Box<T extends @Nullable Object> {
+				}
+				"""));
+	}
+
+	@Test
+	void typeUseAnnotationOnAWildcardBoundAffectsDigest() {
+		assertThat(digest("Example", """
+				public class Example {
+					public void accept(List<? extends Object> values) { }
+				}
+				""")).isNotEqualTo(digest("Example", """
+				public class Example {
+					public void accept(List<? extends @Nullable Object> values) { }
+				}
+				"""));
+	}
+
+	@Test
+	void parameterAnnotationAffectsDigest() {
+		assertThat(digest("Example", """
+				public class Example {
+					public void accept(String first, String second) { }
+				}
+				""")).isNotEqualTo(digest("Example", """
+				public class Example {
+					public void accept(String first, @NullableDecl String second) { }
+				}
+				"""));
+	}
+
+	@Test
+	void movingAParameterAnnotationToAnotherParameterAffectsDigest() {
+		assertThat(digest("Example", """
+				public class Example {
+					public void accept(@NullableDecl String first, String second) { }
+				}
+				""")).isNotEqualTo(digest("Example", """
+				public class Example {
+					public void accept(String first, @NullableDecl String second) { }
+				}
+				"""));
+	}
+
+	@Test
+	void typeUseAnnotationOnAParameterAffectsDigest() {
+		assertThat(digest("Example", """
+				public class Example {
+					public void accept(String value) { }
+				}
+				""")).isNotEqualTo(digest("Example", """
+				public class Example {
+					public void accept(@Nullable String value) { }
+				}
+				"""));
+	}
+
+	@Test
+	void readsPackageInfoAnnotations() {
+		Path classes = compile("package-info", """
+				@NullMarked
+				""");
+		assertThat(read(classes, "com/example/package-info"))
+			.contains("com/example/package-info @Lcom/example/annotations/NullMarked;()");
+	}
+
+	@Test
+	void packageInfoAnnotationAffectsDigest() {
+		Map<String, String> unmarked = Map.of("Example", "public class Example { }", "package-info", "@Other");
+		Map<String, String> marked = Map.of("Example", "public class Example { }", "package-info", "@NullMarked");
+		assertThat(digest(unmarked)).isNotEqualTo(digest(marked));
+	}
+
+	@Test
+	void readsModuleInfoAnnotations() {
+		Path classes = compile(Map.of("Example", "public class Example { }"),
+				"@com.example.annotations.NullMarked module example { }");
+		assertThat(read(classes, "module-info")).contains("module-info @Lcom/example/annotations/NullMarked;()");
+	}
+
+	@Test
+	void moduleInfoAnnotationAffectsDigest() {
+		Map<String, String> sources = Map.of("Example", "public class Example { }");
+		assertThat(digest(compile(sources, "module example { }")))
+			.isNotEqualTo(digest(compile(sources, "@com.example.annotations.NullMarked module example { }")));
+	}
+
+	@Test
+	void readsClassWithConstantsOfEveryType() {
+		Path classes = compile("Example", """
+				public class Example {
+					public static final int INT = 1;
+					public static final long LONG = 2L;
+					public static final float FLOAT = 3.0f;
+					public static final double DOUBLE = 4.0;
+					public static final String STRING = "five";
+					public @Nullable String value() { return STRING + LONG + DOUBLE; }
+				}
+				""");
+		assertThat(read(classes, "com/example/Example"))
+			.contains("com/example/Example.LONGJ", "com/example/Example.DOUBLED",
+					"com/example/Example.value()Ljava/lang/String; type14:@Lcom/example/annotations/Nullable;()");
+	}
+
+	@Test
+	void readsAnnotationElementValues() {
+		Path classes = compile("Example", """
+				public class Example {
+					public @Nullable String value;
+					@Contract("!null -> !null")
+					@EnsuresNonNull({ "value", "other" })
+					public @Nullable String initialize(@Nullable String value) { return value; }
+				}
+				""");
+		assertThat(read(classes, "com/example/Example")).anyMatch((signature) -> signature
+			.contains("@Lcom/example/annotations/Contract;(value=!null -> !null)")
+				&& signature.contains("@Lcom/example/annotations/EnsuresNonNull;(value={value,other})"));
+	}
+
+	@Test
+	void contractValueAffectsDigest() {
+		assertThat(digest("Example", """
+				public class Example {
+					@Contract("null -> null")
+					public @Nullable String value(@Nullable String value) { return value; }
+				}
+				""")).isNotEqualTo(digest("Example", """
+				public class Example {
+					@Contract("!null -> !null")
+					public @Nullable String value(@Nullable String value) { return value; }
+				}
+				"""));
+	}
+
+	@Test
+	void readsNestedClasses() {
+		Path classes = compile("Outer", """
+				public class Outer {
+					public static class Inner {
+						public @Nullable String value() { return null; }
+					}
+				}
+				""");
+		assertThat(read(classes, "com/example/Outer$Inner")).contains(
+				"com/example/Outer$Inner.value()Ljava/lang/String; type14:@Lcom/example/annotations/Nullable;()");
+	}
+
+	@Test
+	void typeUseAnnotationOnANestedTypeAffectsDigest() {
+		assertThat(digest("Outer", """
+				public class Outer {
+					public static class Inner { }
+					public Outer.Inner inner() { return null; }
+				}
+				""")).isNotEqualTo(digest("Outer", """
+				public class Outer {
+					public static class Inner { }
+					public Outer.@Nullable Inner inner() { return null; }
+				}
+				"""));
+	}
+
+	@Test
+	void recordComponentAnnotationAffectsDigest() {
+		assertThat(digest("Point", """
+				public record Point(String name, int x) { }
+				""")).isNotEqualTo(digest("Point", """
+				public record Point(@Nullable String name, int x) { }
+				"""));
+	}
+
+	@Test
+	void customAnnotationAffectsDigest() {
+		Map<String, String> plain = Map.of("Example", """
+				public class Example {
+					public String value() { return null; }
+				}
+				""");
+		Map<String, String> annotated = Map.of("Example", """
+				public class Example {
+					@Other
+					public String value() { return null; }
+				}
+				""");
+		Set<String> custom = Set.of("com.example.annotations.Other");
+		assertThat(digest(compile(plain, null), custom)).isNotEqualTo(digest(compile(annotated, null), custom));
+	}
+
+	@Test
+	void changeToMethodBodyDoesNotAffectDigest() {
+		assertThat(digest("Example", """
+				public class Example {
+					public String value() { return "value"; }
+				}
+				""")).isEqualTo(digest("Example", """
+				public class Example {
+					public String value() { return java.util.Optional.of("other").map((v) -> v + "value").get(); }
+				}
+				"""));
+	}
+
+	@Test
+	void changeToPrivateMembersDoesNotAffectDigest() {
+		assertThat(digest("Example", """
+				public class Example {
+					private String field;
+				}
+				""")).isEqualTo(digest("Example", """
+				public class Example {
+					private @Nullable String field;
+					private @Nullable String other() { return null; }
+				}
+				"""));
+	}
+
+	@Test
+	void changeToConstantValueDoesNotAffectDigest() {
+		assertThat(digest("Example", """
+				public class Example {
+					public static final long VALUE = 1L;
+				}
+				""")).isEqualTo(digest("Example", """
+				public class Example {
+					public static final long VALUE = 2L;
+				}
+				"""));
+	}
+
+	@Test
+	void changeToThrowsClauseDoesNotAffectDigest() {
+		assertThat(digest("Example", """
+				public class Example {
+					public void run() { }
+				}
+				""")).isEqualTo(digest("Example", """
+				public class Example {
+					public void run() throws Exception { }
+				}
+				"""));
+	}
+
+	@Test
+	void nonNullnessAnnotationDoesNotAffectDigest() {
+		assertThat(digest("Example", """
+				public class Example {
+					public List<String> values() { return List.of(); }
+				}
+				""")).isEqualTo(digest("Example", """
+				public class Example {
+					@Other
+					public List<@Other String> values() { return List.of(); }
+				}
+				"""));
+	}
+
+	private String digest(String className, String source) {
+		return digest(Map.of(className, source));
+	}
+
+	private String digest(Map<String, String> sources) {
+		return digest(compile(sources, null));
+	}
+
+	private String digest(Path classes) {
+		return digest(classes, Set.of());
+	}
+
+	private String digest(Path classes, Set<String> customAnnotations) {
+		try {
+			return NullnessSignatures.digest(classes.toFile(), customAnnotations);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private List<String> read(Path classes, String className) {
+		try (InputStream input = Files.newInputStream(classes.resolve(className + ".class"))) {
+			return NullnessSignatures.read(input, Set.of());
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private Path compile(String className, String source) {
+		return compile(Map.of(className, source), null);
+	}
+
+	private Path compile(Map<String, String> sources, String moduleInfo) {
+		Path root = this.temp.resolve("compilation-" + this.compilations++);
+		Map<Path, String> files = new LinkedHashMap<>();
+		ANNOTATIONS.forEach((name, body) -> files.put(root.resolve("src/com/example/annotations/" + name + ".java"),
+				"package com.example.annotations;\n\nimport java.lang.annotation.*;\n\n" + body));
+		sources.forEach((name, body) -> files.put(root.resolve("src/com/example/" + name + ".java"),
+				name.equals("package-info") ? body + "\npackage com.example;\n\nimport com.example.annotations.*;\n"
+						: "package com.example;\n\nimport java.util.*;\n\nimport com.example.annotations.*;\n\n"
+								+ body));
+		if (moduleInfo != null) {
+			files.put(root.resolve("src/module-info.java"), moduleInfo);
+		}
+		Path classes = root.resolve("classes");
+		List<String> arguments = new ArrayList<>(List.of("-d", classes.toString()));
+		try {
+			for (Map.Entry<Path, String> file : files.entrySet()) {
+				Files.createDirectories(file.getKey().getParent());
+				Files.writeString(file.getKey(), file.getValue());
+				arguments.add(file.getKey().toString());
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		int exitCode = ToolProvider.getSystemJavaCompiler().run(null, null, null, arguments.toArray(String[]::new));
+		assertThat(exitCode).isZero();
+		return classes;
+	}
+
+}
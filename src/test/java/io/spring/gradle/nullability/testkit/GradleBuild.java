@@ -31,11 +31,24 @@ import org.gradle.testkit.runner.GradleRunner;
 
 /**
  * A {@code GradleBuild} is used to run a Gradle build using {@link GradleRunner}.
+ * Builds run offline against the local Maven repository identified by the
+ * {@code testRepository} system property and share the TestKit directory identified by
+ * the {@code testKitDir} system property so that they can run in parallel. The shared
+ * TestKit directory is warmed up by a single build, run in a sibling directory, before the
+ * first build runs.
  *
  * @author Andy Wilkinson
  */
 public class GradleBuild {
 
+	private static final String TEST_REPOSITORY = System.getProperty("testRepository");
+
+	private static final String TEST_KIT_DIR = System.getProperty("testKitDir");
+
+	private static final boolean DEBUG = Boolean.getBoolean("gradleBuild.debug");
+
+	private static boolean warmedUp;
+
 	private File projectDir;
 
 	private String script;
@@ -75,15 +88,54 @@ public class GradleBuild {
 		Files.copy(new File(this.script).toPath(), new File(this.projectDir, "build.gradle").toPath(),
 				StandardCopyOption.REPLACE_EXISTING);
 		GradleRunner gradleRunner = GradleRunner.create().withProjectDir(this.projectDir);
-		gradleRunner.withDebug(true).withPluginClasspath();
+		gradleRunner.withDebug(DEBUG).withPluginClasspath();
+		if (TEST_KIT_DIR != null) {
+			warmUp();
+			gradleRunner.withTestKitDir(new File(TEST_KIT_DIR));
+		}
 		List<String> allArguments = new ArrayList<>();
 		allArguments.add("--stacktrace");
+		if (TEST_REPOSITORY != null) {
+			writeSettings();
+			allArguments.add("--offline");
+		}
 		allArguments.addAll(Arrays.asList(arguments));
 		allArguments.add("--warning-mode");
 		allArguments.add("all");
 		return gradleRunner.withArguments(allArguments);
 	}
 
+	private void writeSettings() throws IOException {
+		File settings = new File(this.projectDir, "settings.gradle");
+		if (!settings.exists()) {
+			Files.writeString(settings.toPath(), """
+					dependencyResolutionManagement {
+						repositoriesMode = RepositoriesMode.PREFER_SETTINGS
+						repositories {
+							maven {
+								url = "%s"
+							}
+						}
+					}
+					""".formatted(new File(TEST_REPOSITORY).toURI()));
+		}
+	}
+
+	private static synchronized void warmUp() throws IOException {
+		if (warmedUp) {
+			return;
+		}
+		File warmUpDir = new File(TEST_KIT_DIR + "-warm-up");
+		Files.createDirectories(warmUpDir.toPath());
+		Files.writeString(new File(warmUpDir, "settings.gradle").toPath(), "");
+		GradleRunner.create()
+			.withProjectDir(warmUpDir)
+			.withTestKitDir(new File(TEST_KIT_DIR))
+			.withArguments("help", "--offline")
+			.build();
+		warmedUp = true;
+	}
+
 	public File getProjectDir() {
 		return this.projectDir;
 	}